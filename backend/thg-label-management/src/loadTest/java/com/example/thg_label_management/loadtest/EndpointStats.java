@@ -0,0 +1,66 @@
+package com.example.thg_label_management.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples, error count and 429 rejections for one endpoint. Not thread-safe: each worker
+ * keeps its own instance and they are merged once the run ends.
+ */
+class EndpointStats {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private int errors;
+    private int rejected;
+
+    /**
+     * @param status HTTP status of the response, or -1 if the request failed without one
+     */
+    void record(long nanos, int status) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        if (status == 429) {
+            rejected++;
+        } else if (status != 200) {
+            errors++;
+        }
+    }
+
+    void merge(EndpointStats other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.samples[i], 200);
+        }
+        errors += other.errors;
+        rejected += other.rejected;
+    }
+
+    int count() {
+        return size;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    /**
+     * Requests shed with 429 by the concurrency limits: back-pressure, not failures.
+     */
+    int rejected() {
+        return rejected;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds.
+     */
+    double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
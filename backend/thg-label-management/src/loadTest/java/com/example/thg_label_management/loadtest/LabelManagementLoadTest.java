@@ -0,0 +1,281 @@
+package com.example.thg_label_management.loadtest;
+
+import com.example.thg_label_management.support.InMemoryStorageConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Offline load test: boots the application on a random port against H2 and an in-memory S3,
+ * seeds products and labels, then drives a weighted mix of uploads, previews, bulk downloads,
+ * searches and dashboard calls at each configured concurrency level.
+ * Throughput (over measured wall time), p50/p90/p99 latency, errors and 429 rejections per endpoint
+ * are printed and written to build/reports/loadtest. The test fails if any level's error rate
+ * (excluding 429s) exceeds loadtest.maxErrorRate.
+ *
+ * Tuned with system properties:
+ * loadtest.concurrency (default "1,8,32"), loadtest.durationSeconds (20), loadtest.warmupSeconds (5),
+ * loadtest.products (50), loadtest.uploadPages (1), loadtest.maxErrorRate (0.01) and
+ * loadtest.mix (default "upload:10,preview:30,bulk:5,search:40,dashboard:15").
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(InMemoryStorageConfig.class)
+public class LabelManagementLoadTest {
+
+    enum Operation { UPLOAD, PREVIEW, BULK, SEARCH, DASHBOARD }
+
+    /**
+     * Per-endpoint stats for one level, and the wall time from the first request until the last worker finished.
+     */
+    record Run(Map<Operation, EndpointStats> stats, Duration elapsed) {
+    }
+
+    private static final String BOUNDARY = "loadtest-boundary";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> skus = new ArrayList<>();
+    private final List<Long> labelIds = new CopyOnWriteArrayList<>();
+
+    @Test
+    void runLoadTest() throws Exception {
+        List<Integer> concurrencyLevels = Arrays.stream(System.getProperty("loadtest.concurrency", "1,8,32").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 20));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 5));
+        Map<Operation, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+                "upload:10,preview:30,bulk:5,search:40,dashboard:15"));
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01"));
+
+        seed(Integer.getInteger("loadtest.products", 50));
+        run(Math.max(1, concurrencyLevels.get(0)), warmup, mix);
+
+        StringBuilder report = new StringBuilder();
+        report.append("Load test mix ").append(mix).append(", ").append(duration.toSeconds()).append("s per level\n");
+        Map<Integer, Double> errorRates = new LinkedHashMap<>();
+        for (int concurrency : concurrencyLevels) {
+            Run run = run(concurrency, duration, mix);
+            appendReport(report, concurrency, run);
+            errorRates.put(concurrency, errorRate(run.stats()));
+        }
+
+        System.out.println(report);
+        Path reportDir = Path.of(System.getProperty("loadtest.reportDir", "build/reports/loadtest"));
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve("summary.txt"), report);
+        errorRates.forEach((concurrency, rate) -> assertTrue(rate <= maxErrorRate,
+                String.format("Error rate %.2f%% at concurrency %d exceeds %.2f%%", rate * 100, concurrency, maxErrorRate * 100)));
+    }
+
+    private void seed(int products) throws Exception {
+        for (int i = 0; i < products; i++) {
+            String sku = "LT-" + i;
+            Map<String, Object> product = Map.of(
+                    "sku", sku,
+                    "title", "Load Test Product " + i,
+                    "barcode", String.valueOf(5000000000000L + i),
+                    "category", i % 2 == 0 ? "Food" : "Supplement",
+                    "type", "Powder",
+                    "marketTerritories", List.of("EU", "Australia"),
+                    "masterProduct", false);
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(product)))
+                    .build());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding product " + sku + " failed: " + response.statusCode());
+            }
+            skus.add(sku);
+            if (upload(sku) != 200) {
+                throw new IllegalStateException("Seeding label for " + sku + " failed");
+            }
+        }
+    }
+
+    private Run run(int concurrency, Duration duration, Map<Operation, Integer> mix)
+            throws InterruptedException, ExecutionException {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<Operation, EndpointStats>>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    Map<Operation, EndpointStats> local = new EnumMap<>(Operation.class);
+                    Random random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = pick(mix, totalWeight, random.nextInt(totalWeight));
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = execute(operation, random);
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        local.computeIfAbsent(operation, op -> new EndpointStats())
+                                .record(System.nanoTime() - start, status);
+                    }
+                    return local;
+                }));
+            }
+
+            Map<Operation, EndpointStats> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, EndpointStats>> worker : workers) {
+                worker.get().forEach((op, stats) -> merged.computeIfAbsent(op, o -> new EndpointStats()).merge(stats));
+            }
+            // Requests in flight at the deadline run past it, so the configured duration understates the run
+            return new Run(merged, Duration.ofNanos(System.nanoTime() - started));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int execute(Operation operation, Random random) throws IOException, InterruptedException {
+        String sku = skus.get(random.nextInt(skus.size()));
+        return switch (operation) {
+            case UPLOAD -> upload(sku);
+            case PREVIEW -> get("/api/labels/" + labelIds.get(random.nextInt(labelIds.size())) + "/preview");
+            case BULK -> get("/api/products/" + sku + "/labels/bulk-download");
+            case SEARCH -> get("/api/products/search?query="
+                    + URLEncoder.encode("Product " + random.nextInt(skus.size()), StandardCharsets.UTF_8));
+            case DASHBOARD -> get("/api/dashboard/stats");
+        };
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(uri(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        return response.statusCode();
+    }
+
+    private int upload(String sku) throws IOException, InterruptedException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + sku + ".pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(labelPdf(sku, Integer.getInteger("loadtest.uploadPages", 1)));
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/products/" + sku + "/labels"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build());
+        if (response.statusCode() == 200) {
+            JsonNode label = objectMapper.readTree(response.body());
+            labelIds.add(label.get("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static byte[] labelPdf(String sku, int pages) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                    cs.beginText();
+                    cs.setFont(PDType1Font.HELVETICA, 12);
+                    cs.newLineAtOffset(72, 700);
+                    cs.showText("SKU " + sku + " - nutritional information page " + (i + 1));
+                    cs.endText();
+                }
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            doc.save(baos);
+            return baos.toByteArray();
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int totalWeight, int roll) {
+        int cumulative = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            cumulative += entry.getValue();
+            if (roll < cumulative) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Roll " + roll + " outside total weight " + totalWeight);
+    }
+
+    private static double errorRate(Map<Operation, EndpointStats> stats) {
+        int total = stats.values().stream().mapToInt(EndpointStats::count).sum();
+        int errors = stats.values().stream().mapToInt(EndpointStats::errors).sum();
+        return total == 0 ? 0 : (double) errors / total;
+    }
+
+    private static void appendReport(StringBuilder report, int concurrency, Run run) {
+        double seconds = run.elapsed().toNanos() / 1_000_000_000.0;
+        report.append(String.format("%nConcurrency %d (%.1fs measured)%n", concurrency, seconds));
+        report.append(String.format("%-10s %8s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "429s", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        int total = 0;
+        int errors = 0;
+        int rejected = 0;
+        for (Map.Entry<Operation, EndpointStats> entry : run.stats().entrySet()) {
+            EndpointStats s = entry.getValue();
+            total += s.count();
+            errors += s.errors();
+            rejected += s.rejected();
+            report.append(String.format("%-10s %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().name().toLowerCase(Locale.ROOT), s.count(), s.errors(), s.rejected(), s.count() / seconds,
+                    s.percentileMillis(50), s.percentileMillis(90), s.percentileMillis(99), s.percentileMillis(100)));
+        }
+        report.append(String.format("%-10s %8d %7d %7d %9.1f%n", "total", total, errors, rejected, total / seconds));
+    }
+}
@@ -2,8 +2,10 @@ package com.example.thg_label_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ThgLabelManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,73 @@
+package com.example.thg_label_management.config;
+
+import com.example.thg_label_management.service.HttpUpstreamClient;
+import com.example.thg_label_management.service.StubUpstreamClient;
+import com.example.thg_label_management.service.UpstreamClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Wires the upstream clients used by the catalogue gateway.
+ * Setting catalogue.gateway.mode=stub swaps both upstreams for classpath-backed stubs,
+ * so tests and offline runs never reach the VPN-only services.
+ */
+@Configuration
+public class CatalogueGatewayConfig {
+
+    private static final String STUB_MODE = "stub";
+
+    @Value("${catalogue.gateway.mode:http}")
+    private String mode;
+
+    @Value("${catalogue.gateway.catalogue-url}")
+    private String catalogueUrl;
+
+    @Value("${catalogue.gateway.milkyway-url}")
+    private String milkyWayUrl;
+
+    @Value("${catalogue.gateway.organisation}")
+    private String organisation;
+
+    @Value("${catalogue.gateway.auth-token}")
+    private String authToken;
+
+    @Value("${catalogue.gateway.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${catalogue.gateway.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Bean
+    public UpstreamClient catalogueUpstream() {
+        if (STUB_MODE.equals(mode)) {
+            return new StubUpstreamClient("stub-upstream");
+        }
+        RestClient restClient = baseBuilder()
+                .defaultHeader("X-Organisation", organisation)
+                .build();
+        return new HttpUpstreamClient(restClient, catalogueUrl);
+    }
+
+    @Bean
+    public UpstreamClient milkyWayUpstream() {
+        if (STUB_MODE.equals(mode)) {
+            return new StubUpstreamClient("stub-upstream");
+        }
+        return new HttpUpstreamClient(baseBuilder().build(), milkyWayUrl);
+    }
+
+    private RestClient.Builder baseBuilder() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authToken);
+    }
+}
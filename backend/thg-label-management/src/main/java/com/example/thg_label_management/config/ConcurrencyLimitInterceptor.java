@@ -0,0 +1,102 @@
+package com.example.thg_label_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces {@link ConcurrencyLimited} per-endpoint limits.
+ * A request waits up to execution.limits.max-queue-time for a permit and is otherwise answered
+ * with 429 and Retry-After, so overload is visible to callers instead of surfacing as timeouts.
+ * Wait time and rejections are recorded as http.server.limit.wait and http.server.limit.rejected.
+ * For async handlers the permit is held until the async dispatch completes.
+ */
+@Slf4j
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Duration maxQueueTime;
+    private final Map<String, Optional<Semaphore>> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(Environment environment, MeterRegistry meterRegistry, Duration maxQueueTime) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.maxQueueTime = maxQueueTime;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConcurrencyLimited annotation = method.getMethodAnnotation(ConcurrencyLimited.class);
+        if (annotation == null) {
+            return true;
+        }
+        String name = annotation.value();
+        Optional<Semaphore> limit = limits.computeIfAbsent(name, this::createLimit);
+        if (limit.isEmpty()) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = limit.get().tryAcquire(maxQueueTime.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        Timer.builder("http.server.limit.wait")
+                .tag("endpoint", name)
+                .tag("outcome", acquired ? "acquired" : "rejected")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            meterRegistry.counter("http.server.limit.rejected", "endpoint", name).increment();
+            log.warn("Rejected {} request, concurrency limit reached", name);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many concurrent " + name + " requests");
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, limit.get());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Semaphore semaphore) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            semaphore.release();
+        }
+    }
+
+    private Optional<Semaphore> createLimit(String name) {
+        Integer permits = environment.getProperty("execution.limits." + name, Integer.class);
+        if (permits == null || permits <= 0) {
+            log.info("No concurrency limit configured for {}", name);
+            return Optional.empty();
+        }
+        return Optional.of(new Semaphore(permits, true));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.thg_label_management.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caps concurrent requests to a controller method. The limit is read from
+ * execution.limits.&lt;value&gt;; endpoints sharing a name share the limit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+    String value();
+}
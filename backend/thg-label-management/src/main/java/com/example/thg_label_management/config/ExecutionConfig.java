@@ -0,0 +1,81 @@
+package com.example.thg_label_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the PDF and I/O worker pools.
+ * The PDF pool is sized to the CPU count with a bounded queue, so a burst of uploads is rejected
+ * (429) instead of queueing without limit. The I/O pool uses virtual threads when the runtime
+ * supports them (Java 21+), otherwise a bounded platform thread pool.
+ * Both pools are registered with Micrometer; executor.idle reports the time tasks waited in the queue.
+ */
+@Configuration
+@Slf4j
+public class ExecutionConfig {
+
+    @Value("${execution.pdf.threads:0}")
+    private int pdfThreads;
+
+    @Value("${execution.pdf.queue-capacity:100}")
+    private int pdfQueueCapacity;
+
+    @Value("${execution.io.virtual-threads:true}")
+    private boolean ioVirtualThreads;
+
+    @Value("${execution.io.max-threads:200}")
+    private int ioMaxThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutionPools executionPools(MeterRegistry meterRegistry) {
+        int threads = pdfThreads > 0 ? pdfThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pdf = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pdfQueueCapacity), threadFactory("pdf-worker-"));
+        log.info("PDF pool: {} threads, queue capacity {}", threads, pdfQueueCapacity);
+
+        return new ExecutionPools(
+                ExecutorServiceMetrics.monitor(meterRegistry, pdf, "pdf"),
+                ExecutorServiceMetrics.monitor(meterRegistry, newIoExecutor(), "io"));
+    }
+
+    private ExecutorService newIoExecutor() {
+        if (ioVirtualThreads) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                ExecutorService executor = (ExecutorService) factory.invoke(null);
+                log.info("I/O pool: virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+                log.info("Virtual threads not available on this runtime, falling back to platform threads");
+            }
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(ioMaxThreads, ioMaxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("io-worker-"));
+        executor.allowCoreThreadTimeOut(true);
+        log.info("I/O pool: up to {} platform threads", ioMaxThreads);
+        return executor;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
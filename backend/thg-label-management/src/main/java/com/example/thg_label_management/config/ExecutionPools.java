@@ -0,0 +1,31 @@
+package com.example.thg_label_management.config;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The two worker pools used off the request thread: a CPU-sized pool for PDFBox work
+ * (parsing, rendering) and a high-concurrency pool for blocking I/O (S3, streamed responses).
+ */
+public class ExecutionPools {
+
+    private final ExecutorService pdf;
+    private final ExecutorService io;
+
+    public ExecutionPools(ExecutorService pdf, ExecutorService io) {
+        this.pdf = pdf;
+        this.io = io;
+    }
+
+    public ExecutorService pdf() {
+        return pdf;
+    }
+
+    public ExecutorService io() {
+        return io;
+    }
+
+    public void shutdown() {
+        pdf.shutdown();
+        io.shutdown();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.thg_label_management.controller;
+
+import com.example.thg_label_management.model.ArchivedLabel;
+import com.example.thg_label_management.model.Label;
+import com.example.thg_label_management.service.LabelArchivalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Audit lookup and on-demand restore for label versions moved to cold storage.
+ */
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    private final LabelArchivalService labelArchivalService;
+
+    @GetMapping("/products/{sku}/labels")
+    public List<ArchivedLabel> getArchivedLabels(@PathVariable String sku) {
+        return labelArchivalService.getArchivedLabels(sku);
+    }
+
+    @GetMapping("/labels/{id}")
+    public ArchivedLabel getArchivedLabel(@PathVariable Long id) {
+        return labelArchivalService.getArchivedLabel(id);
+    }
+
+    /**
+     * Restores an archived version as an inactive label so it reappears in the product's history.
+     *
+     * @param id The archive record ID.
+     * @return The restored Label entity.
+     */
+    @PostMapping("/labels/{id}/restore")
+    public Label restoreLabel(@PathVariable Long id) {
+        return labelArchivalService.restore(id);
+    }
+
+    /**
+     * Triggers an archival run outside the schedule.
+     */
+    @PostMapping("/run")
+    public Map<String, Object> runArchival() {
+        return Map.of("archived", labelArchivalService.archiveEligibleLabels());
+    }
+}
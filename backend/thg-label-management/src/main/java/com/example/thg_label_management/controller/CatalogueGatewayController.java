@@ -0,0 +1,65 @@
+package com.example.thg_label_management.controller;
+
+import com.example.thg_label_management.service.CatalogueGatewayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cached pass-through to the Catalogue Service and MilkyWay.
+ * Replaces the direct dev-proxy calls from the UI so repeated lookups are served locally.
+ */
+@RestController
+@RequestMapping("/api/catalogue")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CatalogueGatewayController {
+
+    private final CatalogueGatewayService catalogueGatewayService;
+
+    @GetMapping("/product/title/{title}")
+    public ResponseEntity<String> getProductByTitle(@PathVariable String title) {
+        return toResponse(catalogueGatewayService.getProductByTitle(title));
+    }
+
+    @GetMapping("/product/barcode/{barcode}")
+    public ResponseEntity<String> getProductByBarcode(@PathVariable String barcode) {
+        return toResponse(catalogueGatewayService.getProductByBarcode(barcode));
+    }
+
+    @GetMapping("/catalogue/{barcode}")
+    public ResponseEntity<String> getCatalogueByBarcode(@PathVariable String barcode) {
+        return toResponse(catalogueGatewayService.getCatalogueByBarcode(barcode));
+    }
+
+    @GetMapping("/product/{productId}")
+    public ResponseEntity<String> getProductById(@PathVariable String productId) {
+        return toResponse(catalogueGatewayService.getProductById(productId));
+    }
+
+    @GetMapping("/images/{productId}")
+    public ResponseEntity<String> getProductImages(@PathVariable String productId) {
+        return toResponse(catalogueGatewayService.getProductImages(productId));
+    }
+
+    @GetMapping("/cache/stats")
+    public Map<String, Object> getCacheStats() {
+        return catalogueGatewayService.getStats();
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> evictCache() {
+        catalogueGatewayService.evictAll();
+        return ResponseEntity.ok().build();
+    }
+
+    private ResponseEntity<String> toResponse(Optional<String> body) {
+        return body
+                .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.thg_label_management.controller;
+
+import com.example.thg_label_management.config.ConcurrencyLimited;
+import com.example.thg_label_management.service.ComplianceExportService;
+import com.example.thg_label_management.service.ComplianceExportService.Format;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Compliance exports of label readiness.
+ * Responses are written asynchronously via StreamingResponseBody on the I/O pool, so a full-catalogue
+ * export does not hold a request thread for its whole duration. Each export does hold a database
+ * connection while it streams, so concurrent exports are capped by execution.limits.export.
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ComplianceExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+
+    private final ComplianceExportService complianceExportService;
+
+    /**
+     * Exports readiness for every product.
+     *
+     * @param format "csv" (default) or "ndjson".
+     * @return A streamed attachment.
+     */
+    @ConcurrencyLimited("export")
+    @GetMapping("/readiness")
+    public ResponseEntity<StreamingResponseBody> exportReadiness(@RequestParam(defaultValue = "csv") String format) {
+        Format exportFormat = parseFormat(format);
+        return attachment("readiness", exportFormat,
+                out -> complianceExportService.exportReadiness(exportFormat, out));
+    }
+
+    /**
+     * Exports readiness for every product and market territory pair.
+     *
+     * @param format "csv" (default) or "ndjson".
+     * @return A streamed attachment.
+     */
+    @ConcurrencyLimited("export")
+    @GetMapping("/readiness/territories")
+    public ResponseEntity<StreamingResponseBody> exportTerritoryReadiness(@RequestParam(defaultValue = "csv") String format) {
+        Format exportFormat = parseFormat(format);
+        return attachment("territory_readiness", exportFormat,
+                out -> complianceExportService.exportTerritoryReadiness(exportFormat, out));
+    }
+
+    private Format parseFormat(String format) {
+        return switch (format.toLowerCase()) {
+            case "csv" -> Format.CSV;
+            case "ndjson" -> Format.NDJSON;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        };
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String name, Format format, StreamingResponseBody body) {
+        String extension = format == Format.CSV ? ".csv" : ".ndjson";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment().filename(name + extension).build());
+        headers.setContentType(format == Format.CSV ? TEXT_CSV : APPLICATION_NDJSON);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.thg_label_management.controller;
 
+import com.example.thg_label_management.config.ConcurrencyLimited;
 import com.example.thg_label_management.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +16,7 @@ public class DashboardController {
 
     private final DashboardService dashboardService;
 
+    @ConcurrencyLimited("dashboard")
     @GetMapping("/stats")
     public Map<String, Object> getStats() {
         return dashboardService.getStats();
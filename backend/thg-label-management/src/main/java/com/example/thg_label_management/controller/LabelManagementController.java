@@ -1,5 +1,7 @@
 package com.example.thg_label_management.controller;
 
+import com.example.thg_label_management.config.ConcurrencyLimited;
+import com.example.thg_label_management.config.ExecutionPools;
 import com.example.thg_label_management.model.Label;
 import com.example.thg_label_management.model.Product;
 import com.example.thg_label_management.service.LabelService;
@@ -8,11 +10,11 @@ import com.example.thg_label_management.service.FileStorageService;
 import com.example.thg_label_management.repository.LabelRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -20,7 +22,9 @@ import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -38,7 +42,9 @@ public class LabelManagementController {
     private final LabelService labelService;
     private final FileStorageService fileStorageService;
     private final LabelRepository labelRepository;
+    private final ExecutionPools executionPools;
 
+    @ConcurrencyLimited("search")
     @GetMapping("/products/search")
     public List<Product> searchProducts(@RequestParam String query) {
         return productService.searchProducts(query);
@@ -71,6 +77,7 @@ public class LabelManagementController {
      * @return The persists Label entity.
      * @throws IOException If file processing fails.
      */
+    @ConcurrencyLimited("upload")
     @PostMapping("/products/{sku}/labels")
     public Label uploadLabel(@PathVariable String sku, @RequestParam("file") MultipartFile file) throws IOException {
         Product product = productService.getProduct(sku)
@@ -94,12 +101,21 @@ public class LabelManagementController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Streams a ZIP of all non-deleted label versions for a product.
+     * Entries are written as each file is fetched from MinIO, on the I/O pool,
+     * so the archive is never held in memory as a whole.
+     *
+     * @param sku The product SKU.
+     * @return ResponseEntity streaming the ZIP attachment.
+     */
+    @ConcurrencyLimited("bulk-download")
     @GetMapping(value = "/products/{sku}/labels/bulk-download", produces = "application/zip")
-    public ResponseEntity<byte[]> bulkDownload(@PathVariable String sku) throws IOException {
+    public ResponseEntity<StreamingResponseBody> bulkDownload(@PathVariable String sku) {
         List<Label> labels = labelService.getLabelsForProduct(sku);
-        
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+
+        StreamingResponseBody body = out -> {
+            ZipOutputStream zos = new ZipOutputStream(out);
             for (Label label : labels) {
                 byte[] content = fileStorageService.downloadFile(label.getS3Key());
                 ZipEntry entry = new ZipEntry(label.getVersion() + "_" + label.getFileName());
@@ -107,37 +123,40 @@ public class LabelManagementController {
                 zos.write(content);
                 zos.closeEntry();
             }
-        }
+            zos.finish();
+        };
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentDisposition(ContentDisposition.attachment().filename("labels_" + sku + ".zip").build());
-        return new ResponseEntity<>(baos.toByteArray(), headers, HttpStatus.OK);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
     /**
      * Streams a label PDF directly to the browser for in-app preview.
-     * Uses ByteArrayResource to serve content from MinIO with inline disposition.
+     * The MinIO fetch runs on the I/O pool and placeholder rendering (for non-PDF content)
+     * on the PDF pool, so the request thread is released while either is in progress.
      *
      * @param labelId The unique ID of the label.
-     * @return ResponseEntity containing the PDF stream.
-     * @throws IOException If retrieval fails.
+     * @return A future completing with the PDF response.
      */
+    @ConcurrencyLimited("preview")
     @GetMapping("/labels/{labelId}/preview")
-    public ResponseEntity<Resource> previewLabel(@PathVariable Long labelId) throws IOException {
+    public CompletableFuture<ResponseEntity<Resource>> previewLabel(@PathVariable Long labelId) {
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new RuntimeException("Label not found"));
 
-        byte[] content = fileStorageService.downloadFile(label.getS3Key());
-        // If the stored file is not a valid PDF (e.g., dummy placeholder), generate a simple PDF on the fly
-        if (!isPdf(content)) {
-            content = generatePlaceholderPdf(label.getFileName());
-        }
-        ByteArrayResource resource = new ByteArrayResource(content);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + label.getFileName() + "\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(resource);
+        return CompletableFuture.supplyAsync(() -> fileStorageService.downloadFile(label.getS3Key()), executionPools.io())
+                .thenCompose(content -> {
+                    // If the stored file is not a valid PDF (e.g., dummy placeholder), generate a simple PDF on the fly
+                    if (isPdf(content)) {
+                        return CompletableFuture.completedFuture(content);
+                    }
+                    return CompletableFuture.supplyAsync(() -> generatePlaceholderPdf(label.getFileName()), executionPools.pdf());
+                })
+                .thenApply(content -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + label.getFileName() + "\"")
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .body((Resource) new ByteArrayResource(content)));
     }
 
     /**
@@ -152,7 +171,7 @@ public class LabelManagementController {
     /**
      * Generates a minimal PDF containing the label file name as title.
      */
-    private byte[] generatePlaceholderPdf(String title) throws IOException {
+    private byte[] generatePlaceholderPdf(String title) {
         try (PDDocument doc = new PDDocument()) {
             PDPage page = new PDPage();
             doc.addPage(page);
@@ -166,6 +185,8 @@ public class LabelManagementController {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             doc.save(baos);
             return baos.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
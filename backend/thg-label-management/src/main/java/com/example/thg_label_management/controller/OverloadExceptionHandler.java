@@ -0,0 +1,33 @@
+package com.example.thg_label_management.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Maps a full worker pool queue to 429 so clients back off instead of waiting for a timeout.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+@Slf4j
+public class OverloadExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejected(RejectedExecutionException e) {
+        meterRegistry.counter("executor.rejected").increment();
+        log.warn("Worker pool saturated: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("status", HttpStatus.TOO_MANY_REQUESTS.value(), "error", "Server busy, retry shortly"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.thg_label_management.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Audit record of a label version moved out of the hot label table into cold storage.
+ * The PDF lives as an entry of a compressed bundle under the archive prefix.
+ */
+@Entity
+@Data
+@Table(indexes = @Index(columnList = "sku"))
+public class ArchivedLabel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long originalLabelId;
+    private String sku;
+    private Integer version;
+    private String fileName;
+    private String originalS3Key;
+    private boolean deleted;
+    private Boolean skuMatched;
+    private LocalDateTime createdAt;
+    private String createdBy;
+
+    private String bundleKey; // tar.gz bundle in cold storage, null if the original object was missing
+    private String bundleEntry; // Entry name inside the bundle
+    private String archiveReason; // DELETED or AGED_OUT
+    private LocalDateTime archivedAt;
+
+    private LocalDateTime restoredAt;
+    private Long restoredLabelId;
+}
@@ -23,4 +23,6 @@ public class Label {
     
     private LocalDateTime createdAt;
     private String createdBy; // "Dummy User"
+    private LocalDateTime deactivatedAt; // When this version stopped being active; archival ages from here
+    private LocalDateTime restoredAt; // Set when brought back from the archive
 }
@@ -0,0 +1,18 @@
+package com.example.thg_label_management.model;
+
+/**
+ * Flat projection of a product joined to its active label, used by the compliance exports.
+ * Label columns are null when the product has no active label.
+ */
+public interface ReadinessRow {
+    String getSku();
+    String getTitle();
+    String getBarcode();
+    String getCategory();
+    String getType();
+    Boolean getMasterProduct();
+    String getMasterSku();
+    Integer getActiveLabelVersion();
+    String getActiveLabelFileName();
+    Boolean getSkuMatched();
+}
@@ -0,0 +1,8 @@
+package com.example.thg_label_management.model;
+
+/**
+ * Readiness row expanded per entry of Product.marketTerritories.
+ */
+public interface TerritoryReadinessRow extends ReadinessRow {
+    String getTerritory();
+}
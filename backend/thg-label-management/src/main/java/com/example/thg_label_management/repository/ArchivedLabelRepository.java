@@ -0,0 +1,24 @@
+package com.example.thg_label_management.repository;
+
+import com.example.thg_label_management.model.ArchivedLabel;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedLabelRepository extends JpaRepository<ArchivedLabel, Long> {
+
+    List<ArchivedLabel> findBySkuOrderByVersionDescIdDesc(String sku);
+
+    /**
+     * Loads an archive record with a row lock, so concurrent restores of it are serialised.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM ArchivedLabel a WHERE a.id = :id")
+    Optional<ArchivedLabel> findByIdForUpdate(Long id);
+}
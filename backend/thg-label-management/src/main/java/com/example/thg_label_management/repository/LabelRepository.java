@@ -1,11 +1,16 @@
 package com.example.thg_label_management.repository;
 
 import com.example.thg_label_management.model.Label;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +22,48 @@ public interface LabelRepository extends JpaRepository<Label, Long> {
     List<Label> findBySkuAndActiveTrueAndDeletedFalse(String sku);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Label l SET l.active = false WHERE l.sku = :sku AND l.active = true AND l.deleted = false")
-    void deactivateAllBySku(String sku);
+    @Query("UPDATE Label l SET l.active = false, l.deactivatedAt = :deactivatedAt " +
+            "WHERE l.sku = :sku AND l.active = true AND l.deleted = false")
+    void deactivateAllBySku(String sku, LocalDateTime deactivatedAt);
 
     List<Label> findBySkuAndDeletedFalseOrderByVersionDesc(String sku);
+
+    /**
+     * Finds labels eligible for archival: soft-deleted ones, and inactive versions that stopped being
+     * active before the cutoff (creation time stands in for rows that predate deactivatedAt).
+     * Active labels are never returned, and the newest inactive, non-deleted version of each SKU is
+     * always kept so deleting the active label can still fall back to it.
+     */
+    @Query("SELECT l FROM Label l WHERE l.active = false AND (l.deleted = true OR " +
+            "(COALESCE(l.deactivatedAt, l.createdAt) < :cutoff AND " + NEWER_INACTIVE_VERSION_EXISTS + ")) ORDER BY l.id")
+    List<Label> findArchiveCandidates(LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Re-checks archival eligibility for the given labels inside the archiving transaction,
+     * locking the rows so a concurrent delete or reactivation waits until the batch commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Label l WHERE l.id IN :ids AND l.active = false AND (l.deleted = true OR " +
+            "(COALESCE(l.deactivatedAt, l.createdAt) < :cutoff AND " + NEWER_INACTIVE_VERSION_EXISTS + "))")
+    List<Label> lockArchiveCandidates(Collection<Long> ids, LocalDateTime cutoff);
+
+    /**
+     * Deletes archived labels, guarded so a label that became active again is never removed.
+     *
+     * @return The number of rows deleted.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Label l WHERE l.id IN :ids AND l.active = false")
+    int deleteInactiveByIds(Collection<Long> ids);
+
+    /**
+     * Returns which of the given storage keys are still referenced by labels outside the given IDs.
+     * Before per-upload unique keys, a reused version number produced the same key as a deleted row.
+     */
+    @Query("SELECT DISTINCT l.s3Key FROM Label l WHERE l.s3Key IN :keys AND l.id NOT IN :ids")
+    List<String> findS3KeysReferencedOutside(Collection<String> keys, Collection<Long> ids);
+
+    String NEWER_INACTIVE_VERSION_EXISTS = "EXISTS (SELECT o.id FROM Label o WHERE o.sku = l.sku " +
+            "AND o.active = false AND o.deleted = false " +
+            "AND (o.version > l.version OR (o.version = l.version AND o.id > l.id)))";
 }
@@ -1,15 +1,57 @@
 package com.example.thg_label_management.repository;
 
 import com.example.thg_label_management.model.Product;
+import com.example.thg_label_management.model.ReadinessRow;
+import com.example.thg_label_management.model.TerritoryReadinessRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, String> {
+
+    /** JDBC fetch size for the streaming export queries, so rows are pulled from the database in chunks. */
+    String EXPORT_FETCH_SIZE = "500";
+
     List<Product> findByTitleContainingIgnoreCase(String title);
     List<Product> findByBarcode(String barcode);
     List<Product> findByCatalogueNumber(String catalogueNumber);
     List<Product> findByMasterSku(String masterSku);
+
+    /**
+     * Streams every product with its active, non-deleted label (if any).
+     * Must be consumed inside a read-only transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.sku AS sku, p.title AS title, p.barcode AS barcode, p.category AS category, p.type AS type, " +
+            "p.masterProduct AS masterProduct, p.masterSku AS masterSku, " +
+            "l.version AS activeLabelVersion, l.fileName AS activeLabelFileName, l.skuMatched AS skuMatched " +
+            "FROM Product p LEFT JOIN Label l ON l.sku = p.sku AND l.active = true AND l.deleted = false " +
+            "ORDER BY p.sku")
+    Stream<ReadinessRow> streamReadiness();
+
+    /**
+     * Streams one row per product and market territory, with the product's active label (if any).
+     * Must be consumed inside a read-only transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.sku AS sku, t AS territory, p.title AS title, p.barcode AS barcode, p.category AS category, " +
+            "p.type AS type, p.masterProduct AS masterProduct, p.masterSku AS masterSku, " +
+            "l.version AS activeLabelVersion, l.fileName AS activeLabelFileName, l.skuMatched AS skuMatched " +
+            "FROM Product p JOIN p.marketTerritories t " +
+            "LEFT JOIN Label l ON l.sku = p.sku AND l.active = true AND l.deleted = false " +
+            "ORDER BY p.sku, t")
+    Stream<TerritoryReadinessRow> streamTerritoryReadiness();
 }
@@ -0,0 +1,241 @@
+package com.example.thg_label_management.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caching gateway in front of the Catalogue Service and MilkyWay.
+ * Both upstreams are slow and are hit on every search keystroke, so responses are cached
+ * for a TTL (not-found answers for a shorter negative TTL), concurrent identical lookups
+ * share a single upstream call, and each upstream has its own concurrency limit.
+ */
+@Service
+@Slf4j
+public class CatalogueGatewayService {
+
+    /** Fraction of max-entries the cache is trimmed down to once it fills up. */
+    static final double EVICTION_TARGET = 0.9;
+
+    private final Upstream catalogue;
+    private final Upstream milkyWay;
+    private final String organisation;
+    private final Duration cacheTtl;
+    private final Duration negativeCacheTtl;
+    private final int maxEntries;
+    private final Duration acquireTimeout;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<String>>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @Autowired
+    public CatalogueGatewayService(@Qualifier("catalogueUpstream") UpstreamClient catalogueUpstream,
+                                   @Qualifier("milkyWayUpstream") UpstreamClient milkyWayUpstream,
+                                   @Value("${catalogue.gateway.organisation}") String organisation,
+                                   @Value("${catalogue.gateway.cache-ttl:10m}") Duration cacheTtl,
+                                   @Value("${catalogue.gateway.negative-cache-ttl:1m}") Duration negativeCacheTtl,
+                                   @Value("${catalogue.gateway.max-entries:10000}") int maxEntries,
+                                   @Value("${catalogue.gateway.max-concurrent-requests:8}") int maxConcurrentRequests,
+                                   @Value("${catalogue.gateway.acquire-timeout:2s}") Duration acquireTimeout) {
+        this(catalogueUpstream, milkyWayUpstream, organisation, cacheTtl, negativeCacheTtl,
+                maxEntries, maxConcurrentRequests, acquireTimeout, Clock.systemUTC());
+    }
+
+    CatalogueGatewayService(UpstreamClient catalogueUpstream, UpstreamClient milkyWayUpstream,
+                            String organisation, Duration cacheTtl, Duration negativeCacheTtl,
+                            int maxEntries, int maxConcurrentRequests, Duration acquireTimeout, Clock clock) {
+        this.catalogue = new Upstream("catalogue", catalogueUpstream, new Semaphore(maxConcurrentRequests));
+        this.milkyWay = new Upstream("milkyway", milkyWayUpstream, new Semaphore(maxConcurrentRequests));
+        this.organisation = organisation;
+        this.cacheTtl = cacheTtl;
+        this.negativeCacheTtl = negativeCacheTtl;
+        this.maxEntries = maxEntries;
+        this.acquireTimeout = acquireTimeout;
+        this.clock = clock;
+    }
+
+    public Optional<String> getProductByTitle(String title) {
+        return fetch(catalogue, "/CatalogueService/product/title/" + segment(title) + organisationQuery());
+    }
+
+    public Optional<String> getProductByBarcode(String barcode) {
+        return fetch(catalogue, "/CatalogueService/product/barcode/" + segment(barcode) + organisationQuery());
+    }
+
+    public Optional<String> getCatalogueByBarcode(String barcode) {
+        return fetch(catalogue, "/CatalogueService/catalogue/" + segment(barcode) + organisationQuery());
+    }
+
+    public Optional<String> getProductById(String productId) {
+        return fetch(catalogue, "/CatalogueService/product/" + segment(productId) + organisationQuery());
+    }
+
+    public Optional<String> getProductImages(String productId) {
+        return fetch(milkyWay, "/MilkyWay/imagesbyproduct/productid/" + segment(productId));
+    }
+
+    /**
+     * Returns the cached response for the path if still fresh; otherwise performs (or joins)
+     * the single in-flight upstream call for it and caches the outcome.
+     *
+     * @param upstream The upstream to query.
+     * @param path The encoded upstream path, also used as the cache key.
+     * @return The response body, or empty if the upstream reported not found.
+     * @throws ResponseStatusException 503 if the upstream is saturated, 502 if the call failed.
+     */
+    private Optional<String> fetch(Upstream upstream, String path) {
+        String key = upstream.name() + ":" + path;
+        CacheEntry cached = cache.get(key);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return cached.body();
+        }
+
+        CompletableFuture<Optional<String>> call = new CompletableFuture<>();
+        CompletableFuture<Optional<String>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // A previous leader may have filled the cache between our miss and claiming the slot
+            CacheEntry filled = cache.get(key);
+            if (filled != null && filled.expiresAt().isAfter(clock.instant())) {
+                call.complete(filled.body());
+                return filled.body();
+            }
+
+            Optional<String> body = callUpstream(upstream, path);
+            Duration ttl = body.isPresent() ? cacheTtl : negativeCacheTtl;
+            store(key, new CacheEntry(body, clock.instant().plus(ttl)));
+            call.complete(body);
+            return body;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Optional<String> callUpstream(Upstream upstream, String path) {
+        boolean acquired;
+        try {
+            acquired = upstream.permits().tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted waiting for " + upstream.name());
+        }
+        if (!acquired) {
+            log.warn("Concurrency limit reached for upstream {}", upstream.name());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Upstream " + upstream.name() + " is busy");
+        }
+
+        try {
+            log.debug("Cache miss, calling {}{}", upstream.name(), path);
+            return upstream.client().get(path);
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Upstream {} call failed for {}: {}", upstream.name(), path, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Upstream " + upstream.name() + " call failed", e);
+        } finally {
+            upstream.permits().release();
+        }
+    }
+
+    private Optional<String> await(CompletableFuture<Optional<String>> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stores an entry. When the cache is full, expired entries are dropped and, if that is not enough,
+     * the entries closest to expiry until the cache is back at EVICTION_TARGET of capacity, so the
+     * O(n) sweep runs once per many inserts rather than on every miss.
+     */
+    private void store(String key, CacheEntry entry) {
+        if (cache.size() >= maxEntries && evictionLock.tryLock()) {
+            try {
+                evict();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        cache.put(key, entry);
+    }
+
+    private void evict() {
+        Instant now = clock.instant();
+        cache.entrySet().removeIf(e -> !e.getValue().expiresAt().isAfter(now));
+        int target = (int) (maxEntries * EVICTION_TARGET);
+        int excess = cache.size() - target;
+        if (excess <= 0) {
+            return;
+        }
+        cache.entrySet().stream()
+                .sorted(Comparator.comparing(e -> e.getValue().expiresAt()))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(cache::remove);
+    }
+
+    /**
+     * Drops every cached response. Exposed for operators when the catalogue is known to have changed.
+     */
+    public void evictAll() {
+        cache.clear();
+    }
+
+    /**
+     * Reports cache size and available upstream permits for monitoring.
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "cachedEntries", cache.size(),
+                "inFlight", inFlight.size(),
+                "cataloguePermitsAvailable", catalogue.permits().availablePermits(),
+                "milkyWayPermitsAvailable", milkyWay.permits().availablePermits());
+    }
+
+    private String organisationQuery() {
+        return "?organisation=" + UriUtils.encodeQueryParam(organisation, StandardCharsets.UTF_8);
+    }
+
+    private static String segment(String value) {
+        return UriUtils.encodePathSegment(value, StandardCharsets.UTF_8);
+    }
+
+    private record Upstream(String name, UpstreamClient client, Semaphore permits) {
+    }
+
+    private record CacheEntry(Optional<String> body, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.thg_label_management.service;
+
+import com.example.thg_label_management.model.ReadinessRow;
+import com.example.thg_label_management.model.TerritoryReadinessRow;
+import com.example.thg_label_management.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Produces full compliance exports of label readiness, per product and per market territory.
+ * Rows are streamed from the database and written to the output as they are read,
+ * so memory use stays constant regardless of catalogue size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ComplianceExportService {
+
+    private static final List<String> PRODUCT_COLUMNS = List.of(
+            "sku", "title", "barcode", "category", "type", "masterProduct", "masterSku",
+            "ready", "activeLabelVersion", "activeLabelFileName", "skuMatched");
+
+    private static final String FORMULA_TRIGGERS = "=+-@\t\r";
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format { CSV, NDJSON }
+
+    /**
+     * Writes one row per product with its active label and SKU validation status.
+     *
+     * @param format The output format.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing to the output fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportReadiness(Format format, OutputStream out) throws IOException {
+        try (Stream<ReadinessRow> rows = productRepository.streamReadiness()) {
+            write(format, PRODUCT_COLUMNS, rows.map(this::toRecord).iterator(), out);
+        }
+    }
+
+    /**
+     * Writes one row per product and market territory with the product's active label and SKU validation status.
+     * Products without territories are not included.
+     *
+     * @param format The output format.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing to the output fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportTerritoryReadiness(Format format, OutputStream out) throws IOException {
+        List<String> columns = new ArrayList<>();
+        columns.add("territory");
+        columns.addAll(PRODUCT_COLUMNS);
+        try (Stream<TerritoryReadinessRow> rows = productRepository.streamTerritoryReadiness()) {
+            write(format, columns, rows.map(row -> {
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("territory", row.getTerritory());
+                record.putAll(toRecord(row));
+                return record;
+            }).iterator(), out);
+        }
+    }
+
+    private Map<String, Object> toRecord(ReadinessRow row) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("sku", row.getSku());
+        record.put("title", row.getTitle());
+        record.put("barcode", row.getBarcode());
+        record.put("category", row.getCategory());
+        record.put("type", row.getType());
+        record.put("masterProduct", Boolean.TRUE.equals(row.getMasterProduct()));
+        record.put("masterSku", row.getMasterSku());
+        record.put("ready", row.getActiveLabelVersion() != null);
+        record.put("activeLabelVersion", row.getActiveLabelVersion());
+        record.put("activeLabelFileName", row.getActiveLabelFileName());
+        record.put("skuMatched", row.getSkuMatched());
+        return record;
+    }
+
+    private void write(Format format, List<String> columns, Iterator<Map<String, Object>> records,
+                       OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+        if (format == Format.CSV) {
+            writeCsvLine(writer, columns);
+        }
+        while (records.hasNext()) {
+            Map<String, Object> record = records.next();
+            if (format == Format.CSV) {
+                writeCsvLine(writer, record.values());
+            } else {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.write('\n');
+            }
+            count++;
+        }
+        writer.flush();
+        log.info("Exported {} readiness rows as {}", count, format);
+    }
+
+    private void writeCsvLine(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(value));
+            first = false;
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a CSV field where needed. Text starting with a spreadsheet formula trigger
+     * (=, +, -, @, tab or carriage return) is prefixed with ' so Excel shows it as text.
+     */
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && FORMULA_TRIGGERS.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
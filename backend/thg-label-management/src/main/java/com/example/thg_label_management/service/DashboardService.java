@@ -4,6 +4,7 @@ import com.example.thg_label_management.model.Product;
 import com.example.thg_label_management.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +29,7 @@ public class DashboardService {
      *
      * @return A map containing calculated metrics.
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getStats() {
         List<Product> products = productRepository.findAll();
         long totalProducts = products.size();
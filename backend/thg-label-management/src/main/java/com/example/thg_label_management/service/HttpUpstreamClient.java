@@ -0,0 +1,36 @@
+package com.example.thg_label_management.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * UpstreamClient backed by a real HTTP endpoint.
+ * Authentication headers and timeouts are configured on the supplied RestClient.
+ */
+public class HttpUpstreamClient implements UpstreamClient {
+
+    private final RestClient restClient;
+    private final String baseUrl;
+
+    public HttpUpstreamClient(RestClient restClient, String baseUrl) {
+        this.restClient = restClient;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public Optional<String> get(String path) {
+        try {
+            return Optional.ofNullable(restClient.get()
+                    .uri(URI.create(baseUrl + path))
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .body(String.class));
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.example.thg_label_management.service;
+
+import com.example.thg_label_management.model.ArchivedLabel;
+import com.example.thg_label_management.model.Label;
+import com.example.thg_label_management.repository.ArchivedLabelRepository;
+import com.example.thg_label_management.repository.LabelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves soft-deleted and aged-out inactive label versions out of the hot label table and
+ * the labels/ prefix into an archive table and a cold storage prefix.
+ * Each batch packs the PDFs of one SKU into a single tar.gz bundle, staged in a temp file so
+ * a batch of large PDFs is never held in memory; batches are throttled so a large backlog does
+ * not compete with interactive traffic.
+ */
+@Service
+@Slf4j
+public class LabelArchivalService {
+
+    static final String REASON_DELETED = "DELETED";
+    static final String REASON_AGED_OUT = "AGED_OUT";
+
+    private static final DateTimeFormatter BUNDLE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS");
+
+    private final LabelRepository labelRepository;
+    private final ArchivedLabelRepository archivedLabelRepository;
+    private final FileStorageService fileStorageService;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${label.archive.prefix:archive/}")
+    private String archivePrefix;
+
+    @Value("${label.archive.inactive-after:180d}")
+    private Duration inactiveAfter;
+
+    @Value("${label.archive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${label.archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${label.archive.batch-pause:2s}")
+    private Duration batchPause;
+
+    public LabelArchivalService(LabelRepository labelRepository,
+                                ArchivedLabelRepository archivedLabelRepository,
+                                FileStorageService fileStorageService,
+                                PlatformTransactionManager transactionManager) {
+        this.labelRepository = labelRepository;
+        this.archivedLabelRepository = archivedLabelRepository;
+        this.fileStorageService = fileStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${label.archive.cron:0 0 3 * * *}")
+    public void scheduledArchive() {
+        archiveEligibleLabels();
+    }
+
+    /**
+     * Archives eligible labels in batches until none remain or the per-run batch limit is hit.
+     * Concurrent invocations are ignored while a run is in progress.
+     *
+     * @return The number of labels archived in this run.
+     */
+    public int archiveEligibleLabels() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Label archival already running, skipping");
+            return 0;
+        }
+        int archived = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(inactiveAfter);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Label> candidates = labelRepository.findArchiveCandidates(cutoff, PageRequest.of(0, batchSize));
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                archived += archiveBatch(candidates, cutoff);
+                if (candidates.size() < batchSize) {
+                    break;
+                }
+                pause();
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+            }
+            log.info("Label archival run finished, {} labels archived", archived);
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Lists archived versions for a SKU, newest first.
+     */
+    public List<ArchivedLabel> getArchivedLabels(String sku) {
+        return archivedLabelRepository.findBySkuOrderByVersionDescIdDesc(sku);
+    }
+
+    public ArchivedLabel getArchivedLabel(Long id) {
+        return archivedLabelRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Archived label not found"));
+    }
+
+    /**
+     * Restores an archived version back under the labels/ prefix and into the label table.
+     * The restored label is inactive and not deleted, numbered as the SKU's next version;
+     * the archive record keeps the original version for audit.
+     *
+     * @param archivedLabelId The ID of the archive record.
+     * @return The recreated Label entity.
+     * @throws RuntimeException If the record is unknown, already restored, or its content is not in the archive.
+     */
+    @Transactional
+    public Label restore(Long archivedLabelId) {
+        // The row lock makes a concurrent restore of the same record wait here, then see it as restored
+        ArchivedLabel archived = archivedLabelRepository.findByIdForUpdate(archivedLabelId)
+                .orElseThrow(() -> new RuntimeException("Archived label not found"));
+        if (archived.getRestoredLabelId() != null) {
+            throw new RuntimeException("Archived label already restored as label " + archived.getRestoredLabelId());
+        }
+        if (archived.getBundleKey() == null) {
+            throw new RuntimeException("Archived label has no stored content to restore");
+        }
+
+        // Version numbers can be reused after a delete, so the restored copy becomes the next version
+        // (as an upload would) and gets a key that cannot clash with a newer upload
+        Integer version = labelRepository.findFirstBySkuAndDeletedFalseOrderByVersionDesc(archived.getSku())
+                .map(Label::getVersion)
+                .orElse(0) + 1;
+        String s3Key = "labels/" + archived.getSku() + "/restored_" + archived.getId() + "_" + archived.getFileName();
+
+        LocalDateTime now = LocalDateTime.now();
+        Label label = new Label();
+        label.setSku(archived.getSku());
+        label.setVersion(version);
+        label.setFileName(archived.getFileName());
+        label.setS3Key(s3Key);
+        label.setActive(false);
+        label.setDeleted(false);
+        label.setSkuMatched(archived.getSkuMatched());
+        label.setCreatedAt(archived.getCreatedAt());
+        label.setCreatedBy(archived.getCreatedBy());
+        label.setDeactivatedAt(now);
+        label.setRestoredAt(now);
+        Label restored = labelRepository.save(label);
+
+        archived.setRestoredAt(restored.getRestoredAt());
+        archived.setRestoredLabelId(restored.getId());
+        archivedLabelRepository.save(archived);
+
+        // Upload only once the record is claimed, and remove the object again if the claim does not commit
+        byte[] content = readBundleEntry(fileStorageService.downloadFile(archived.getBundleKey()), archived.getBundleEntry());
+        fileStorageService.uploadFile(s3Key, new ByteArrayInputStream(content), content.length, "application/pdf");
+        deleteUnlessCommitted(s3Key);
+
+        log.info("Restored archived label {} (v{}) for SKU {} as label {} (v{})", archivedLabelId,
+                archived.getVersion(), archived.getSku(), restored.getId(), version);
+        return restored;
+    }
+
+    /**
+     * Bundles, records and removes one batch of labels.
+     * Bundles are written before the database transaction, which can take a while, so the transaction
+     * re-checks and locks the candidates and only records the rows it actually deleted. A label that
+     * was reactivated in the meantime is left alone. Original objects are deleted after the commit,
+     * except those another label still points at.
+     */
+    private int archiveBatch(List<Label> labels, LocalDateTime cutoff) {
+        List<Long> ids = labels.stream().map(Label::getId).toList();
+        // Legacy keys (labels/<sku>/v<N>_<file>) are reused when a version number is uploaded again after
+        // a delete; such an object holds the newer label's content, so it is neither bundled nor deleted
+        Set<String> sharedKeys = keysReferencedOutside(labels, ids);
+
+        Map<String, List<Label>> bySku = new LinkedHashMap<>();
+        for (Label label : labels) {
+            bySku.computeIfAbsent(label.getSku(), sku -> new ArrayList<>()).add(label);
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        List<ArchivedLabel> records = new ArrayList<>();
+        for (Map.Entry<String, List<Label>> entry : bySku.entrySet()) {
+            records.addAll(writeBundle(entry.getKey(), entry.getValue(), sharedKeys, archivedAt));
+        }
+
+        Set<String> retainedKeys = new HashSet<>(sharedKeys);
+        Set<Long> removed = transactionTemplate.execute(status -> {
+            List<Long> stillEligible = labelRepository.lockArchiveCandidates(ids, cutoff).stream()
+                    .map(Label::getId)
+                    .toList();
+            if (stillEligible.isEmpty()) {
+                return Set.<Long>of();
+            }
+            labelRepository.deleteInactiveByIds(stillEligible);
+            archivedLabelRepository.saveAll(records.stream()
+                    .filter(record -> stillEligible.contains(record.getOriginalLabelId()))
+                    .toList());
+            retainedKeys.addAll(keysReferencedOutside(labels, stillEligible));
+            return Set.copyOf(stillEligible);
+        });
+
+        for (Label label : labels) {
+            if (!removed.contains(label.getId())) {
+                log.info("Label {} no longer eligible for archival, skipped", label.getId());
+                continue;
+            }
+            if (retainedKeys.contains(label.getS3Key())) {
+                log.info("Archived label {} but kept {}, still referenced by another label", label.getId(), label.getS3Key());
+                continue;
+            }
+            try {
+                fileStorageService.deleteFile(label.getS3Key());
+            } catch (RuntimeException e) {
+                log.warn("Archived label {} but failed to delete {}: {}", label.getId(), label.getS3Key(), e.getMessage());
+            }
+        }
+        deleteUnreferencedBundles(records, removed);
+        return removed.size();
+    }
+
+    private Set<String> keysReferencedOutside(List<Label> labels, Collection<Long> ids) {
+        List<String> keys = labels.stream().map(Label::getS3Key).filter(Objects::nonNull).distinct().toList();
+        if (keys.isEmpty() || ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(labelRepository.findS3KeysReferencedOutside(keys, ids));
+    }
+
+    /**
+     * Removes bundles whose every entry was skipped, so cold storage only holds archived content.
+     */
+    private void deleteUnreferencedBundles(List<ArchivedLabel> records, Set<Long> removed) {
+        Set<String> referenced = new HashSet<>();
+        Set<String> written = new HashSet<>();
+        for (ArchivedLabel record : records) {
+            if (record.getBundleKey() == null) {
+                continue;
+            }
+            written.add(record.getBundleKey());
+            if (removed.contains(record.getOriginalLabelId())) {
+                referenced.add(record.getBundleKey());
+            }
+        }
+        written.removeAll(referenced);
+        for (String bundleKey : written) {
+            try {
+                fileStorageService.deleteFile(bundleKey);
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete unused archive bundle {}: {}", bundleKey, e.getMessage());
+            }
+        }
+    }
+
+    private List<ArchivedLabel> writeBundle(String sku, List<Label> labels, Set<String> sharedKeys, LocalDateTime archivedAt) {
+        // The UUID keeps bundles distinct across batches and instances archiving the same SKU in the same instant
+        String bundleKey = archivePrefix + "labels/" + sku + "/" + BUNDLE_TIMESTAMP.format(archivedAt)
+                + "_" + UUID.randomUUID() + ".tar.gz";
+        List<ArchivedLabel> records = new ArrayList<>();
+        Path bundle = null;
+
+        try {
+            bundle = Files.createTempFile("label-archive-", ".tar.gz");
+            boolean hasEntries = false;
+            try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GzipCompressorOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(bundle))))) {
+                tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+                for (Label label : labels) {
+                    String entryName = label.getId() + "_" + label.getFileName();
+                    byte[] content = contentToArchive(label, sharedKeys);
+                    if (content != null) {
+                        TarArchiveEntry entry = new TarArchiveEntry(entryName);
+                        entry.setSize(content.length);
+                        tar.putArchiveEntry(entry);
+                        tar.write(content);
+                        tar.closeArchiveEntry();
+                        hasEntries = true;
+                    }
+                    records.add(toArchiveRecord(label, content != null ? bundleKey : null,
+                            content != null ? entryName : null, archivedAt));
+                }
+            }
+
+            if (hasEntries) {
+                try (InputStream in = Files.newInputStream(bundle)) {
+                    fileStorageService.uploadFile(bundleKey, in, Files.size(bundle), "application/gzip");
+                }
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to build archive bundle for SKU " + sku, e);
+        } finally {
+            deleteTempFile(bundle);
+        }
+    }
+
+    private byte[] contentToArchive(Label label, Set<String> sharedKeys) {
+        if (sharedKeys.contains(label.getS3Key())) {
+            log.warn("Label {} shares {} with a newer label, archiving metadata only", label.getId(), label.getS3Key());
+            return null;
+        }
+        return downloadIfPresent(label.getS3Key());
+    }
+
+    private void deleteTempFile(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary bundle {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes an object uploaded inside the current transaction if that transaction rolls back.
+     */
+    private void deleteUnlessCommitted(String key) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    try {
+                        fileStorageService.deleteFile(key);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to remove {} after rolled back restore: {}", key, e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private byte[] downloadIfPresent(String key) {
+        try {
+            return fileStorageService.downloadFile(key);
+        } catch (NoSuchKeyException e) {
+            log.warn("Label object {} missing from storage, archiving metadata only", key);
+            return null;
+        }
+    }
+
+    private ArchivedLabel toArchiveRecord(Label label, String bundleKey, String bundleEntry, LocalDateTime archivedAt) {
+        ArchivedLabel archived = new ArchivedLabel();
+        archived.setOriginalLabelId(label.getId());
+        archived.setSku(label.getSku());
+        archived.setVersion(label.getVersion());
+        archived.setFileName(label.getFileName());
+        archived.setOriginalS3Key(label.getS3Key());
+        archived.setDeleted(label.isDeleted());
+        archived.setSkuMatched(label.getSkuMatched());
+        archived.setCreatedAt(label.getCreatedAt());
+        archived.setCreatedBy(label.getCreatedBy());
+        archived.setBundleKey(bundleKey);
+        archived.setBundleEntry(bundleEntry);
+        archived.setArchiveReason(label.isDeleted() ? REASON_DELETED : REASON_AGED_OUT);
+        archived.setArchivedAt(archivedAt);
+        return archived;
+    }
+
+    private byte[] readBundleEntry(byte[] bundle, String entryName) {
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(
+                new GzipCompressorInputStream(new ByteArrayInputStream(bundle)))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                if (entry.getName().equals(entryName)) {
+                    return tar.readAllBytes();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive bundle", e);
+        }
+        throw new RuntimeException("Entry " + entryName + " not found in archive bundle");
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package com.example.thg_label_management.service;
 
+import com.example.thg_label_management.config.ExecutionPools;
 import com.example.thg_label_management.model.Label;
 import com.example.thg_label_management.repository.LabelRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Core service for label lifecycle operations.
@@ -20,43 +27,72 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class LabelService {
 
     private final LabelRepository labelRepository;
     private final FileStorageService fileStorageService;
+    private final ExecutionPools executionPools;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Uploads a new label PDF file, performs OCR validation, and creates a new label record.
-     * This method handles versioning by deactivating previous active labels for the same SKU
-     * and setting the newly uploaded label as the active one with an incremented version.
+     * Storage upload runs on the I/O pool and PDF parsing on the PDF pool, concurrently, before
+     * any transaction is opened; only the versioning step below holds a database connection.
+     * Previous active labels for the SKU are deactivated and the new label becomes the active one
+     * with an incremented version. If versioning fails, the uploaded object is removed again.
      *
      * @param sku The Stock Keeping Unit (SKU) associated with the label.
      * @param file The MultipartFile representing the PDF label to upload.
      * @return The newly created and saved Label entity.
      * @throws IOException If there is an error reading the file or during MinIO upload.
      */
-    @Transactional
     public Label uploadLabel(String sku, MultipartFile file) throws IOException {
-        // 1. Find the current max version for this SKU
+        // 1. Perform Smart Validation (OCR) on the PDF pool, submitted first so a full pool rejects before any upload
+        CompletableFuture<Boolean> validation = CompletableFuture.supplyAsync(() -> {
+            try (InputStream in = file.getInputStream()) {
+                return validateSkuInPdf(sku, in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executionPools.pdf());
+
+        // 2. Save file to MinIO on the I/O pool, in parallel with validation.
+        // The version is only known inside the transaction, so the key carries a unique id instead.
+        String s3Key = "labels/" + sku + "/" + UUID.randomUUID() + "_" + file.getOriginalFilename();
+        CompletableFuture<Void> upload = CompletableFuture.runAsync(() -> {
+            try (InputStream in = file.getInputStream()) {
+                fileStorageService.uploadFile(s3Key, in, file.getSize(), file.getContentType());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executionPools.io());
+
+        await(upload);
+        try {
+            boolean skuMatched = await(validation);
+            // 3. Version and save in a short transaction
+            return transactionTemplate.execute(status -> saveNewVersion(sku, file.getOriginalFilename(), s3Key, skuMatched));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(s3Key);
+            throw e;
+        }
+    }
+
+    /**
+     * Deactivates the current versions of a SKU and saves the uploaded file as the next, active version.
+     */
+    private Label saveNewVersion(String sku, String fileName, String s3Key, boolean skuMatched) {
         Integer currentVersion = labelRepository.findFirstBySkuAndDeletedFalseOrderByVersionDesc(sku)
                 .map(Label::getVersion)
                 .orElse(0);
 
-        // 2. Set all existing labels for this SKU to active = false
-        labelRepository.deactivateAllBySku(sku);
-
-        // 3. Save file to MinIO
-        String s3Key = "labels/" + sku + "/v" + (currentVersion + 1) + "_" + file.getOriginalFilename();
-        fileStorageService.uploadFile(s3Key, file.getInputStream(), file.getSize(), file.getContentType());
+        labelRepository.deactivateAllBySku(sku, LocalDateTime.now());
 
-        // 4. Perform Smart Validation (OCR)
-        boolean skuMatched = validateSkuInPdf(sku, file.getInputStream());
-
-        // 5. Save new Label record with version + 1 and active = true
         Label newLabel = new Label();
         newLabel.setSku(sku);
         newLabel.setVersion(currentVersion + 1);
-        newLabel.setFileName(file.getOriginalFilename());
+        newLabel.setFileName(fileName);
         newLabel.setS3Key(s3Key);
         newLabel.setActive(true);
         newLabel.setSkuMatched(skuMatched);
@@ -66,6 +102,14 @@ public class LabelService {
         return labelRepository.save(newLabel);
     }
 
+    private void deleteQuietly(String s3Key) {
+        try {
+            fileStorageService.deleteFile(s3Key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove orphaned upload {}: {}", s3Key, e.getMessage());
+        }
+    }
+
     /**
      * Soft deletes a label by setting its 'deleted' flag to true and 'active' flag to false.
      * If the deleted label was the active version for its SKU, this method will
@@ -85,6 +129,9 @@ public class LabelService {
         // Soft delete: set deleted = true, active = false
         label.setDeleted(true);
         label.setActive(false);
+        if (wasActive) {
+            label.setDeactivatedAt(LocalDateTime.now());
+        }
         labelRepository.save(label);
 
         // If it was the active label, make the previous version active
@@ -107,6 +154,23 @@ public class LabelService {
         return labelRepository.findBySkuAndDeletedFalseOrderByVersionDesc(sku);
     }
 
+    /**
+     * Waits for a pool task, rethrowing its original exception rather than the CompletionException wrapper.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Performs automated validation of the PDF content.
      * Extracts text using Apache PDFBox and checks if the product SKU is present
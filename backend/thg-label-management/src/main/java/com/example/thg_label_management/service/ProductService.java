@@ -4,7 +4,9 @@ import com.example.thg_label_management.model.Product;
 import com.example.thg_label_management.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +14,8 @@ import java.util.Optional;
 /**
  * Service for managing Product metadata and relationships.
  * Handles Master/Child linking and product attribute persistence.
+ * Open-in-view is disabled, so every method returning products to the API loads the lazy
+ * collections it serialises (territories and labels) before its transaction ends.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,12 +31,14 @@ public class ProductService {
      * @param product The product entity to save.
      * @return The persists Product entity.
      */
+    @Transactional
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        return initialize(productRepository.save(product));
     }
 
+    @Transactional(readOnly = true)
     public Optional<Product> getProduct(String sku) {
-        return productRepository.findById(sku);
+        return productRepository.findById(sku).map(ProductService::initialize);
     }
 
     /**
@@ -42,6 +48,7 @@ public class ProductService {
      * @param query The search string provided by the user.
      * @return A list of matching Product entities.
      */
+    @Transactional(readOnly = true)
     public List<Product> searchProducts(String query) {
         log.info("Searching for products with query: {}", query);
         
@@ -49,19 +56,19 @@ public class ProductService {
         List<Product> byTitle = productRepository.findByTitleContainingIgnoreCase(query);
         if (!byTitle.isEmpty()) {
             log.debug("Found {} products by title", byTitle.size());
-            return byTitle;
+            return initialize(byTitle);
         }
         
         List<Product> byBarcode = productRepository.findByBarcode(query);
         if (!byBarcode.isEmpty()) {
             log.debug("Found {} products by barcode", byBarcode.size());
-            return byBarcode;
+            return initialize(byBarcode);
         }
 
         List<Product> byCatalogue = productRepository.findByCatalogueNumber(query);
         if (!byCatalogue.isEmpty()) {
             log.debug("Found {} products by catalogue number", byCatalogue.size());
-            return byCatalogue;
+            return initialize(byCatalogue);
         }
 
         List<Product> bySku = productRepository.findAll().stream()
@@ -69,10 +76,22 @@ public class ProductService {
                 .toList();
 
         log.debug("Found {} products by SKU exact match", bySku.size());
-        return bySku;
+        return initialize(bySku);
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getChildProducts(String masterSku) {
-        return productRepository.findByMasterSku(masterSku);
+        return initialize(productRepository.findByMasterSku(masterSku));
+    }
+
+    private static List<Product> initialize(List<Product> products) {
+        products.forEach(ProductService::initialize);
+        return products;
+    }
+
+    private static Product initialize(Product product) {
+        Hibernate.initialize(product.getMarketTerritories());
+        Hibernate.initialize(product.getLabels());
+        return product;
     }
 }
@@ -0,0 +1,38 @@
+package com.example.thg_label_management.service;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Offline stand-in for an upstream, used by tests and local runs without VPN access.
+ * Serves canned JSON from the classpath: "/CatalogueService/product/123?organisation=default"
+ * maps to "stub-upstream/CatalogueService/product/123.json". Missing files behave as a 404.
+ */
+public class StubUpstreamClient implements UpstreamClient {
+
+    private final String resourceRoot;
+
+    public StubUpstreamClient(String resourceRoot) {
+        this.resourceRoot = resourceRoot;
+    }
+
+    @Override
+    public Optional<String> get(String path) {
+        int queryStart = path.indexOf('?');
+        String resourcePath = queryStart >= 0 ? path.substring(0, queryStart) : path;
+        ClassPathResource resource = new ClassPathResource(resourceRoot + resourcePath + ".json");
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return Optional.of(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.thg_label_management.service;
+
+import java.util.Optional;
+
+/**
+ * Minimal read-only view of a remote reference-data system (Catalogue Service, MilkyWay).
+ * Implementations return the raw JSON body, or empty when the upstream reports the resource as not found.
+ */
+@FunctionalInterface
+public interface UpstreamClient {
+
+    /**
+     * Performs a GET against the upstream.
+     *
+     * @param path The already-encoded path (and query string) relative to the upstream base URL.
+     * @return The response body, or empty if the upstream answered 404.
+     */
+    Optional<String> get(String path);
+}
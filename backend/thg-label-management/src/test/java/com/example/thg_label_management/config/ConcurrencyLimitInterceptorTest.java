@@ -0,0 +1,58 @@
+package com.example.thg_label_management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(
+            new MockEnvironment().withProperty("execution.limits.upload", "1"), meterRegistry, Duration.ofMillis(10));
+
+    @Test
+    void testRejectsWith429WhenLimitReached() throws Exception {
+        HandlerMethod handler = handler("upload");
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(first, firstResponse, handler));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), rejected, handler));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.counter("http.server.limit.rejected", "endpoint", "upload").count());
+
+        interceptor.afterCompletion(first, firstResponse, handler, null);
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+    }
+
+    @Test
+    void testUnconfiguredLimitIsUnbounded() throws Exception {
+        HandlerMethod handler = handler("search");
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+        }
+    }
+
+    private HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), name);
+    }
+
+    static class Endpoints {
+        @ConcurrencyLimited("upload")
+        public void upload() {
+        }
+
+        @ConcurrencyLimited("search")
+        public void search() {
+        }
+    }
+}
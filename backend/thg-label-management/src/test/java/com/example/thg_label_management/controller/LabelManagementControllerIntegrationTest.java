@@ -0,0 +1,149 @@
+package com.example.thg_label_management.controller;
+
+import com.example.thg_label_management.model.Label;
+import com.example.thg_label_management.model.Product;
+import com.example.thg_label_management.repository.LabelRepository;
+import com.example.thg_label_management.repository.ProductRepository;
+import com.example.thg_label_management.service.FileStorageService;
+import com.example.thg_label_management.support.InMemoryS3Client;
+import com.example.thg_label_management.support.InMemoryStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(InMemoryStorageConfig.class)
+@Transactional
+public class LabelManagementControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private InMemoryS3Client s3Client;
+
+    @BeforeEach
+    void setUp() {
+        labelRepository.deleteAll();
+        productRepository.deleteAll();
+        s3Client.clear();
+
+        Product product = new Product();
+        product.setSku("SKU1");
+        product.setTitle("Whey");
+        product.setMarketTerritories(List.of("EU"));
+        productRepository.save(product);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testSearchSerialisesLazyCollectionsWithoutOpenSession() throws Exception {
+        // No test transaction here, so lazy loading works only if the service initialised the collections
+        save(1, "label.pdf");
+
+        mockMvc.perform(get("/api/products/search").param("query", "Whey"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].marketTerritories[0]").value("EU"))
+                .andExpect(jsonPath("$[0].labels[0].fileName").value("label.pdf"));
+        mockMvc.perform(get("/api/products/SKU1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.labels.length()").value(1));
+    }
+
+    @Test
+    void testUploadCreatesActiveVersion() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "label.pdf", "application/pdf", "content".getBytes());
+
+        mockMvc.perform(multipart("/api/products/SKU1/labels").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.active").value(true));
+
+        Label saved = labelRepository.findAll().get(0);
+        assertArrayEquals("content".getBytes(), fileStorageService.downloadFile(saved.getS3Key()));
+    }
+
+    @Test
+    void testPreviewRendersPlaceholderAsynchronously() throws Exception {
+        Label label = save(1, "label.pdf");
+
+        MvcResult pending = mockMvc.perform(get("/api/labels/{id}/preview", label.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] pdf = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string("Content-Disposition", "inline; filename=\"label.pdf\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertTrue(new String(pdf, 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF-"), "Non-PDF content should be replaced by a placeholder");
+    }
+
+    @Test
+    void testBulkDownloadStreamsEveryVersion() throws Exception {
+        save(1, "a.pdf");
+        save(2, "b.pdf");
+
+        MvcResult pending = mockMvc.perform(get("/api/products/SKU1/labels/bulk-download"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] zip = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"labels_SKU1.zip\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.add(entry.getName() + "=" + new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("2_b.pdf=content of b.pdf", "1_a.pdf=content of a.pdf"), entries);
+    }
+
+    private Label save(int version, String fileName) {
+        Label label = new Label();
+        label.setSku("SKU1");
+        label.setVersion(version);
+        label.setFileName(fileName);
+        label.setS3Key("labels/SKU1/v" + version + "_" + fileName);
+        label.setCreatedAt(LocalDateTime.now());
+        byte[] content = ("content of " + fileName).getBytes(StandardCharsets.UTF_8);
+        fileStorageService.uploadFile(label.getS3Key(), new ByteArrayInputStream(content), content.length, "application/pdf");
+        return labelRepository.save(label);
+    }
+}
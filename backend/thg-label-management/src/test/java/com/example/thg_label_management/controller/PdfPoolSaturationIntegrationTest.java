@@ -0,0 +1,90 @@
+package com.example.thg_label_management.controller;
+
+import com.example.thg_label_management.config.ExecutionPools;
+import com.example.thg_label_management.model.Product;
+import com.example.thg_label_management.repository.LabelRepository;
+import com.example.thg_label_management.repository.ProductRepository;
+import com.example.thg_label_management.support.InMemoryStorageConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the application with a one-thread PDF pool and a one-slot queue, so an upload arriving
+ * while both are taken is rejected by the real executor.
+ */
+@SpringBootTest(properties = {"execution.pdf.threads=1", "execution.pdf.queue-capacity=1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(InMemoryStorageConfig.class)
+public class PdfPoolSaturationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExecutionPools executionPools;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        labelRepository.deleteAll();
+        productRepository.deleteAll();
+
+        Product product = new Product();
+        product.setSku("SKU1");
+        product.setTitle("Whey");
+        productRepository.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void testFullPdfPoolAnswers429() throws Exception {
+        // One task occupies the only worker, the next fills the queue; anything further is rejected
+        executionPools.pdf().execute(this::awaitRelease);
+        executionPools.pdf().execute(this::awaitRelease);
+        assertThrows(RejectedExecutionException.class, () -> executionPools.pdf().execute(() -> { }));
+
+        MockMultipartFile file = new MockMultipartFile("file", "label.pdf", "application/pdf", "content".getBytes());
+        mockMvc.perform(multipart("/api/products/SKU1/labels").file(file))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        assertEquals(0, labelRepository.count(), "Rejected upload must not create a label");
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
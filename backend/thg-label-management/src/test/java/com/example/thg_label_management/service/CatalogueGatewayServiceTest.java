@@ -0,0 +1,145 @@
+package com.example.thg_label_management.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogueGatewayServiceTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void testRepeatedLookupIsServedFromCache() {
+        AtomicInteger calls = new AtomicInteger();
+        CatalogueGatewayService gateway = gateway(path -> {
+            calls.incrementAndGet();
+            return Optional.of("{\"id\":1}");
+        });
+
+        assertEquals(Optional.of("{\"id\":1}"), gateway.getProductById("1"));
+        assertEquals(Optional.of("{\"id\":1}"), gateway.getProductById("1"));
+        assertEquals(1, calls.get());
+
+        clock.advance(Duration.ofMinutes(11));
+        gateway.getProductById("1");
+        assertEquals(2, calls.get(), "Expired entry should be refetched");
+    }
+
+    @Test
+    void testNotFoundIsCachedForNegativeTtl() {
+        AtomicInteger calls = new AtomicInteger();
+        CatalogueGatewayService gateway = gateway(path -> {
+            calls.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertTrue(gateway.getProductByBarcode("missing").isEmpty());
+        assertTrue(gateway.getProductByBarcode("missing").isEmpty());
+        assertEquals(1, calls.get());
+
+        clock.advance(Duration.ofMinutes(2));
+        gateway.getProductByBarcode("missing");
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testFullCacheIsTrimmedInBulkOldestFirst() {
+        AtomicInteger calls = new AtomicInteger();
+        CatalogueGatewayService gateway = gateway(path -> {
+            calls.incrementAndGet();
+            return Optional.of("{}");
+        });
+
+        for (int i = 0; i < 100; i++) {
+            gateway.getProductById(String.valueOf(i));
+            clock.advance(Duration.ofMillis(1));
+        }
+        gateway.getProductById("100");
+        assertEquals(91, gateway.getStats().get("cachedEntries"), "Cache should be trimmed to 90% before the insert");
+
+        for (int i = 101; i < 110; i++) {
+            gateway.getProductById(String.valueOf(i));
+        }
+        assertEquals(100, gateway.getStats().get("cachedEntries"), "No eviction until full again");
+
+        calls.set(0);
+        gateway.getProductById("99");
+        gateway.getProductById("0");
+        assertEquals(1, calls.get(), "Oldest entries are evicted, newer ones kept");
+    }
+
+    @Test
+    void testConcurrentIdenticalLookupsAreCoalesced() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CatalogueGatewayService gateway = gateway(path -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of("{\"title\":\"Whey\"}");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> gateway.getProductByTitle("Whey")));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<Optional<String>> result : results) {
+                assertEquals(Optional.of("{\"title\":\"Whey\"}"), result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    private CatalogueGatewayService gateway(UpstreamClient upstream) {
+        return new CatalogueGatewayService(upstream, upstream, "default",
+                Duration.ofMinutes(10), Duration.ofMinutes(1), 100, 4, Duration.ofSeconds(1), clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.thg_label_management.service;
+
+import com.example.thg_label_management.model.Label;
+import com.example.thg_label_management.model.Product;
+import com.example.thg_label_management.repository.LabelRepository;
+import com.example.thg_label_management.repository.ProductRepository;
+import com.example.thg_label_management.service.ComplianceExportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class ComplianceExportServiceIntegrationTest {
+
+    @Autowired
+    private ComplianceExportService complianceExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @BeforeEach
+    void setUp() {
+        labelRepository.deleteAll();
+        productRepository.deleteAll();
+
+        productRepository.save(product("SKU-A", "Whey, Vanilla", List.of("EU", "India")));
+        productRepository.save(product("SKU-B", "Creatine", List.of("Australia")));
+
+        Label active = new Label();
+        active.setSku("SKU-A");
+        active.setVersion(2);
+        active.setFileName("a_v2.pdf");
+        active.setS3Key("labels/SKU-A/v2_a_v2.pdf");
+        active.setActive(true);
+        active.setSkuMatched(true);
+        active.setCreatedAt(LocalDateTime.now());
+        labelRepository.save(active);
+    }
+
+    @Test
+    void testReadinessCsvJoinsActiveLabel() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        complianceExportService.exportReadiness(Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("sku,title,"));
+        assertEquals("SKU-A,\"Whey, Vanilla\",,Food,Powder,false,,true,2,a_v2.pdf,true", lines[1]);
+        assertEquals("SKU-B,Creatine,,Food,Powder,false,,false,,,", lines[2]);
+    }
+
+    @Test
+    void testCsvNeutralisesSpreadsheetFormulas() throws Exception {
+        productRepository.save(product("SKU-C", "=HYPERLINK(\"http://x\",\"click\")", List.of()));
+        productRepository.save(product("SKU-D", "@SUM(A1)", List.of()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        complianceExportService.exportReadiness(Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("SKU-C,\"'=HYPERLINK(\"\"http://x\"\",\"\"click\"\")\","));
+        assertTrue(csv.contains("SKU-D,'@SUM(A1),"));
+    }
+
+    @Test
+    void testTerritoryNdjsonHasOneLinePerTerritory() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        complianceExportService.exportTerritoryReadiness(Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"territory\":\"EU\",\"sku\":\"SKU-A\""));
+        assertTrue(lines[1].startsWith("{\"territory\":\"India\",\"sku\":\"SKU-A\""));
+        assertTrue(lines[2].contains("\"sku\":\"SKU-B\"") && lines[2].contains("\"ready\":false"));
+    }
+
+    private Product product(String sku, String title, List<String> territories) {
+        Product product = new Product();
+        product.setSku(sku);
+        product.setTitle(title);
+        product.setCategory("Food");
+        product.setType("Powder");
+        product.setMarketTerritories(territories);
+        return product;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.thg_label_management.service;
+
+import com.example.thg_label_management.model.ArchivedLabel;
+import com.example.thg_label_management.model.Label;
+import com.example.thg_label_management.repository.ArchivedLabelRepository;
+import com.example.thg_label_management.repository.LabelRepository;
+import com.example.thg_label_management.support.InMemoryS3Client;
+import com.example.thg_label_management.support.InMemoryStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Transactional;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(InMemoryStorageConfig.class)
+@Transactional
+public class LabelArchivalServiceIntegrationTest {
+
+    @Autowired
+    private LabelArchivalService labelArchivalService;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ArchivedLabelRepository archivedLabelRepository;
+
+    @MockitoSpyBean
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private InMemoryS3Client s3Client;
+
+    @BeforeEach
+    void setUp() {
+        labelRepository.deleteAll();
+        archivedLabelRepository.deleteAll();
+        s3Client.clear();
+    }
+
+    @Test
+    void testArchivesDeletedAndAgedOutVersionsOnly() {
+        Label deleted = save("SKU1", 1, false, true, LocalDateTime.now());
+        Label agedOut = save("SKU1", 2, false, false, LocalDateTime.now().minusYears(1));
+        Label recentInactive = save("SKU1", 3, false, false, LocalDateTime.now());
+        Label active = save("SKU1", 4, true, false, LocalDateTime.now().minusYears(1));
+
+        assertEquals(2, labelArchivalService.archiveEligibleLabels());
+
+        List<Long> remaining = labelRepository.findAll().stream().map(Label::getId).toList();
+        assertEquals(List.of(recentInactive.getId(), active.getId()), remaining);
+        assertFalse(exists(deleted.getS3Key()));
+        assertFalse(exists(agedOut.getS3Key()));
+
+        List<ArchivedLabel> archived = labelArchivalService.getArchivedLabels("SKU1");
+        assertEquals(2, archived.size());
+        assertEquals(LabelArchivalService.REASON_AGED_OUT, archived.get(0).getArchiveReason());
+        assertEquals(LabelArchivalService.REASON_DELETED, archived.get(1).getArchiveReason());
+        assertEquals(archived.get(0).getBundleKey(), archived.get(1).getBundleKey(), "Same SKU should share one bundle");
+        assertTrue(archived.get(0).getBundleKey().startsWith("archive/labels/SKU1/"));
+    }
+
+    @Test
+    void testRestoreBringsBackContentAsInactiveVersion() {
+        Label deleted = save("SKU2", 1, false, true, LocalDateTime.now());
+        labelArchivalService.archiveEligibleLabels();
+        ArchivedLabel archived = labelArchivalService.getArchivedLabels("SKU2").get(0);
+
+        Label restored = labelArchivalService.restore(archived.getId());
+
+        assertFalse(restored.isActive());
+        assertFalse(restored.isDeleted());
+        assertEquals(1, restored.getVersion());
+        assertNotNull(restored.getRestoredAt());
+        assertEquals("content of " + deleted.getS3Key(), content(restored.getS3Key()));
+        assertEquals(restored.getId(), archivedLabelRepository.findById(archived.getId()).orElseThrow().getRestoredLabelId());
+        assertThrows(RuntimeException.class, () -> labelArchivalService.restore(archived.getId()));
+    }
+
+    @Test
+    void testAgesFromDeactivationAndKeepsNewestInactiveVersion() {
+        // Live for a year, replaced yesterday: too recent to archive
+        Label recentlyReplaced = save("SKU3", 1, false, false, LocalDateTime.now().minusYears(2));
+        recentlyReplaced.setDeactivatedAt(LocalDateTime.now().minusDays(1));
+        labelRepository.save(recentlyReplaced);
+        // Deactivated long ago but the newest inactive version: kept as the delete fallback
+        Label fallback = save("SKU4", 1, false, false, LocalDateTime.now().minusYears(2));
+        fallback.setDeactivatedAt(LocalDateTime.now().minusYears(1));
+        labelRepository.save(fallback);
+        save("SKU4", 2, true, false, LocalDateTime.now().minusYears(1));
+
+        assertEquals(0, labelArchivalService.archiveEligibleLabels());
+        assertEquals(3, labelRepository.count());
+    }
+
+    @Test
+    void testSkipsLabelReactivatedWhileBundling() {
+        Label candidate = save("SKU5", 1, false, true, LocalDateTime.now());
+        Label other = save("SKU5", 2, false, true, LocalDateTime.now());
+        // Simulate deleteLabel reactivating the candidate while its PDF is being fetched
+        doAnswer(invocation -> {
+            Label reactivated = labelRepository.findById(candidate.getId()).orElseThrow();
+            reactivated.setActive(true);
+            reactivated.setDeleted(false);
+            labelRepository.saveAndFlush(reactivated);
+            return invocation.callRealMethod();
+        }).when(fileStorageService).downloadFile(candidate.getS3Key());
+
+        assertEquals(1, labelArchivalService.archiveEligibleLabels());
+
+        assertTrue(labelRepository.findById(candidate.getId()).orElseThrow().isActive());
+        assertTrue(exists(candidate.getS3Key()));
+        List<ArchivedLabel> archived = labelArchivalService.getArchivedLabels("SKU5");
+        assertEquals(1, archived.size());
+        assertEquals(other.getId(), archived.get(0).getOriginalLabelId());
+    }
+
+    @Test
+    void testRestoreTakesNextVersionWhenOriginalIsReused() {
+        save("SKU6", 2, false, true, LocalDateTime.now());
+        labelArchivalService.archiveEligibleLabels();
+        save("SKU6", 2, true, false, LocalDateTime.now());
+        ArchivedLabel archived = labelArchivalService.getArchivedLabels("SKU6").get(0);
+
+        Label restored = labelArchivalService.restore(archived.getId());
+
+        assertEquals(3, restored.getVersion());
+        assertEquals(2, archivedLabelRepository.findById(archived.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testKeepsObjectSharedWithLiveLabelOfReusedVersion() {
+        // Before unique upload keys, re-uploading v2 after deleting it wrote to the deleted row's key
+        Label deleted = save("SKU7", 2, false, true, LocalDateTime.now());
+        Label live = save("SKU7", 2, true, false, LocalDateTime.now());
+        assertEquals(deleted.getS3Key(), live.getS3Key());
+
+        assertEquals(1, labelArchivalService.archiveEligibleLabels());
+
+        assertEquals("content of " + live.getS3Key(), content(live.getS3Key()));
+        ArchivedLabel archived = labelArchivalService.getArchivedLabels("SKU7").get(0);
+        assertEquals(deleted.getId(), archived.getOriginalLabelId());
+        assertNull(archived.getBundleKey(), "Live content must not be archived as the deleted version");
+        verify(fileStorageService, never()).deleteFile(live.getS3Key());
+    }
+
+    @Test
+    void testBatchesOfSameSkuWriteSeparateBundles() {
+        save("SKU8", 1, false, true, LocalDateTime.now());
+        labelArchivalService.archiveEligibleLabels();
+        save("SKU8", 2, false, true, LocalDateTime.now());
+        labelArchivalService.archiveEligibleLabels();
+
+        List<ArchivedLabel> archived = labelArchivalService.getArchivedLabels("SKU8");
+        assertEquals(2, archived.size());
+        assertNotEquals(archived.get(0).getBundleKey(), archived.get(1).getBundleKey());
+        for (ArchivedLabel record : archived) {
+            Label restored = labelArchivalService.restore(record.getId());
+            assertEquals("content of " + record.getOriginalS3Key(), content(restored.getS3Key()));
+        }
+    }
+
+    private boolean exists(String key) {
+        try {
+            fileStorageService.downloadFile(key);
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    private String content(String key) {
+        return new String(fileStorageService.downloadFile(key), StandardCharsets.UTF_8);
+    }
+
+    private Label save(String sku, int version, boolean active, boolean deleted, LocalDateTime createdAt) {
+        Label label = new Label();
+        label.setSku(sku);
+        label.setVersion(version);
+        label.setFileName("label.pdf");
+        label.setS3Key("labels/" + sku + "/v" + version + "_label.pdf");
+        label.setActive(active);
+        label.setDeleted(deleted);
+        label.setCreatedAt(createdAt);
+        label.setCreatedBy("Dummy User");
+        byte[] content = ("content of " + label.getS3Key()).getBytes(StandardCharsets.UTF_8);
+        fileStorageService.uploadFile(label.getS3Key(), new ByteArrayInputStream(content), content.length, "application/pdf");
+        return labelRepository.save(label);
+    }
+}
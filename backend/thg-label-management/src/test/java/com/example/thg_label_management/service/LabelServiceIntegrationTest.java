@@ -2,20 +2,33 @@ package com.example.thg_label_management.service;
 
 import com.example.thg_label_management.model.Label;
 import com.example.thg_label_management.repository.LabelRepository;
+import com.example.thg_label_management.support.InMemoryS3Client;
+import com.example.thg_label_management.support.InMemoryStorageConfig;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @SpringBootTest
 @ActiveProfiles("test")
+@Import(InMemoryStorageConfig.class)
 @Transactional
 public class LabelServiceIntegrationTest {
 
@@ -25,13 +38,20 @@ public class LabelServiceIntegrationTest {
     @Autowired
     private LabelRepository labelRepository;
 
+    @MockitoSpyBean
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private InMemoryS3Client s3Client;
+
     @BeforeEach
     void setUp() {
         labelRepository.deleteAll();
+        s3Client.clear();
     }
 
     @Test
-    void testUploadLabelFirstTime() {
+    void testUploadLabelFirstTime() throws Exception {
         String sku = "SKU123";
         MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", "dummy content".getBytes());
 
@@ -44,10 +64,12 @@ public class LabelServiceIntegrationTest {
         assertEquals("test.pdf", result.getFileName());
         assertNotNull(result.getCreatedAt());
         assertEquals("Dummy User", result.getCreatedBy());
+        assertFalse(result.getSkuMatched(), "Unparseable PDF should not match");
+        assertArrayEquals("dummy content".getBytes(), fileStorageService.downloadFile(result.getS3Key()));
     }
 
     @Test
-    void testUploadLabelVersioning() {
+    void testUploadLabelVersioning() throws Exception {
         String sku = "SKU123";
         MockMultipartFile file1 = new MockMultipartFile("file", "test1.pdf", "application/pdf", "content 1".getBytes());
         MockMultipartFile file2 = new MockMultipartFile("file", "test2.pdf", "application/pdf", "content 2".getBytes());
@@ -67,4 +89,45 @@ public class LabelServiceIntegrationTest {
         Label secondLabelFromDb = labels.stream().filter(l -> l.getVersion() == 2).findFirst().orElseThrow();
         assertTrue(secondLabelFromDb.isActive(), "Second label should be active");
     }
+
+    @Test
+    void testUploadMatchesSkuInPdfText() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "label.pdf", "application/pdf", pdfContaining("SKU123"));
+
+        assertTrue(labelService.uploadLabel("SKU123", file).getSkuMatched());
+        assertFalse(labelService.uploadLabel("SKU999", file).getSkuMatched());
+    }
+
+    @Test
+    void testFailedStorageUploadKeepsCurrentVersionActive() throws Exception {
+        Label current = labelService.uploadLabel("SKU123",
+                new MockMultipartFile("file", "test1.pdf", "application/pdf", "content 1".getBytes()));
+        doThrow(new RuntimeException("MinIO unavailable"))
+                .when(fileStorageService).uploadFile(anyString(), any(InputStream.class), anyLong(), any());
+
+        assertThrows(RuntimeException.class, () -> labelService.uploadLabel("SKU123",
+                new MockMultipartFile("file", "test2.pdf", "application/pdf", "content 2".getBytes())));
+
+        List<Label> labels = labelRepository.findAll();
+        assertEquals(1, labels.size());
+        assertEquals(current.getId(), labels.get(0).getId());
+        assertTrue(labels.get(0).isActive());
+    }
+
+    private static byte[] pdfContaining(String text) throws Exception {
+        try (PDDocument doc = new PDDocument()) {
+            PDPage page = new PDPage();
+            doc.addPage(page);
+            try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                cs.beginText();
+                cs.setFont(PDType1Font.HELVETICA, 12);
+                cs.newLineAtOffset(72, 700);
+                cs.showText("Nutritional information for " + text);
+                cs.endText();
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            doc.save(baos);
+            return baos.toByteArray();
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.thg_label_management.support;
+
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for MinIO covering the calls FileStorageService makes.
+ * Anything else falls through to the SDK's default UnsupportedOperationException.
+ */
+public class InMemoryS3Client implements S3Client {
+
+    private final Set<String> buckets = ConcurrentHashMap.newKeySet();
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public HeadBucketResponse headBucket(HeadBucketRequest request) {
+        if (!buckets.contains(request.bucket())) {
+            throw NoSuchBucketException.builder().message("No such bucket: " + request.bucket()).build();
+        }
+        return HeadBucketResponse.builder().build();
+    }
+
+    @Override
+    public CreateBucketResponse createBucket(CreateBucketRequest request) {
+        buckets.add(request.bucket());
+        return CreateBucketResponse.builder().build();
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody requestBody) {
+        try (InputStream in = requestBody.contentStreamProvider().newStream()) {
+            objects.put(objectKey(request.bucket(), request.key()), in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return PutObjectResponse.builder().build();
+    }
+
+    @Override
+    public ResponseBytes<GetObjectResponse> getObjectAsBytes(GetObjectRequest request) {
+        byte[] content = objects.get(objectKey(request.bucket(), request.key()));
+        if (content == null) {
+            throw NoSuchKeyException.builder().message("No such key: " + request.key()).build();
+        }
+        GetObjectResponse response = GetObjectResponse.builder().contentLength((long) content.length).build();
+        return ResponseBytes.fromByteArray(response, content);
+    }
+
+    @Override
+    public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        objects.remove(objectKey(request.bucket(), request.key()));
+        return DeleteObjectResponse.builder().build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    /**
+     * Drops every stored object; the client is shared by all tests using the same application context.
+     */
+    public void clear() {
+        objects.clear();
+    }
+
+    private String objectKey(String bucket, String key) {
+        return bucket + "/" + key;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.thg_label_management.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Replaces the MinIO client with {@link InMemoryS3Client}, so tests and the load test run the real
+ * FileStorageService without network access. Import it and clear the client between tests.
+ */
+@TestConfiguration
+public class InMemoryStorageConfig {
+
+    @Bean
+    @Primary
+    public InMemoryS3Client inMemoryS3Client() {
+        return new InMemoryS3Client();
+    }
+}